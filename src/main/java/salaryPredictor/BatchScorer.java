@@ -0,0 +1,13 @@
+package salaryPredictor;
+
+/**
+ * Scores a batch of job postings for LinearSalaryModel.
+ * The arrays have already been checked to have the same length as out.
+ * @author nirav99
+ *
+ */
+interface BatchScorer
+{
+  void predict(LinearSalaryModel model, int[] jobType, int[] degree, int[] major, int[] industry, int[] years, int[] miles,
+  		double[] out);
+}
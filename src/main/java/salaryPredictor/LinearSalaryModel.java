@@ -0,0 +1,196 @@
+package salaryPredictor;
+
+/**
+ * Scores job postings against a trained linear regression salary model in bulk.
+ * Rows are given column-wise as primitive arrays, with each nominal feature encoded as the index of its value
+ * in the ARFF header (see ARFFFileWriter.header), so a batch can be scored without creating any objects per row.
+ *
+ * WEKA's LinearRegression converts every nominal attribute into binary indicator attributes. Since each value of
+ * the attribute switches on a fixed set of indicators, the coefficients of those indicators can be added up into a
+ * single weight per value. Scoring a row is then a table lookup for each nominal feature plus a dot product over the
+ * numeric features.
+ *
+ * Batches are scored by VectorBatchScorer when the jdk.incubator.vector module is resolved and the JIT generates
+ * AVX2 code, and by ScalarBatchScorer otherwise. Both give bit-for-bit the same results.
+ * @author nirav99
+ *
+ */
+public class LinearSalaryModel
+{
+  // Number of values of each nominal attribute in ARFFFileWriter.header
+  public static final int NUM_JOB_TYPES = countHeaderValues("jobType");
+  public static final int NUM_DEGREES = countHeaderValues("degree");
+  public static final int NUM_MAJORS = countHeaderValues("major");
+  public static final int NUM_INDUSTRIES = countHeaderValues("industry");
+
+  // Scorer used for batches - VectorBatchScorer if the jdk.incubator.vector module is available and supported
+  static final BatchScorer BATCH_SCORER = selectBatchScorer();
+
+  // Read directly by the BatchScorer implementations
+  final double[] jobTypeWeights;  // Weight for each jobType value, in ARFF header order
+  final double[] degreeWeights;   // Weight for each degree value, in ARFF header order
+  final double[] majorWeights;    // Weight for each major value, in ARFF header order
+  final double[] industryWeights; // Weight for each industry value, in ARFF header order
+
+  final double yearsCoefficient;  // Coefficient for yearsExperience
+  final double milesCoefficient;  // Coefficient for milesFromMetropolis
+  final double intercept;
+
+  /**
+   * Class constructor
+   * @param jobTypeWeights - weight for each value of jobType
+   * @param degreeWeights - weight for each value of degree
+   * @param majorWeights - weight for each value of major
+   * @param industryWeights - weight for each value of industry
+   * @param yearsCoefficient - coefficient for years of experience
+   * @param milesCoefficient - coefficient for distance from metropolis
+   * @param intercept - constant term of the model
+   * @throws IllegalArgumentException if a weight table does not have one entry per value of its attribute
+   */
+  public LinearSalaryModel(double[] jobTypeWeights, double[] degreeWeights, double[] majorWeights, double[] industryWeights,
+  		double yearsCoefficient, double milesCoefficient, double intercept)
+  {
+  	checkNumWeights("jobType", jobTypeWeights, NUM_JOB_TYPES);
+  	checkNumWeights("degree", degreeWeights, NUM_DEGREES);
+  	checkNumWeights("major", majorWeights, NUM_MAJORS);
+  	checkNumWeights("industry", industryWeights, NUM_INDUSTRIES);
+
+  	this.jobTypeWeights = jobTypeWeights.clone();
+  	this.degreeWeights = degreeWeights.clone();
+  	this.majorWeights = majorWeights.clone();
+  	this.industryWeights = industryWeights.clone();
+  	this.yearsCoefficient = yearsCoefficient;
+  	this.milesCoefficient = milesCoefficient;
+  	this.intercept = intercept;
+  }
+
+  /**
+   * Returns a snapshot of the model stored in model/linearregression_allfeatures_outliersremoved.model.
+   * Nothing is read from the model file at runtime - the weights below were extracted from the serialized WEKA 3.6
+   * LinearRegression. Its m_Coefficients were matched to the selected attributes of m_TransformedData (the
+   * NominalToBinary output, where jobType=CFO,CEO was eliminated as colinear), and each indicator coefficient was added
+   * to the weight of every value listed in the indicator's name. The value left out of all indicators
+   * (JANITOR, NONE, NONE, EDUCATION) has weight 0.
+   *
+   * When the model is retrained, regenerate these tables with "gradle printCheckedInModelWeights" (see the test class
+   * CheckedInModelWeights) and paste its output here. LinearSalaryModelTest fails while the snapshot and the model file
+   * disagree.
+   * @return
+   */
+  public static LinearSalaryModel forCheckedInModel()
+  {
+  	// CFO, CEO, VICE_PRESIDENT, MANAGER, JUNIOR, JANITOR, CTO, SENIOR
+  	double[] jobTypeWeights = {50.830185937250775, 59.023788852415755, 41.76510825852577, 32.508739683792044,
+  			13.116469697830544, 0.0, 50.830185937250775, 22.936509839130984};
+
+  	// MASTERS, HIGH_SCHOOL, DOCTORAL, BACHELORS, NONE
+  	double[] degreeWeights = {13.633963802965397, 3.599225965035831, 18.109553686431653, 9.139880753148335, 0.0};
+
+  	// MATH, NONE, PHYSICS, CHEMISTRY, COMPSCI, BIOLOGY, LITERATURE, BUSINESS, ENGINEERING
+  	double[] majorWeights = {8.940869020619358, 0.0, 6.559998307901548, 5.439794754837523, 8.166356175496887,
+  			4.460994616922837, 1.3512864598744787, 10.746549279240298, 13.041724721736378};
+
+  	// HEALTH, WEB, AUTO, FINANCE, EDUCATION, OIL, SERVICE
+  	double[] industryWeights = {15.312996974274547, 20.50589087509916, 9.509948784845768, 28.724185699850374, 0.0,
+  			28.834974023955414, 4.787779901950341};
+
+  	return new LinearSalaryModel(jobTypeWeights, degreeWeights, majorWeights, industryWeights,
+  			1.8334149865120233, -0.36122108894759847, 49.92162654200394);
+  }
+
+  /**
+   * Predicts the salary of a single job posting.
+   * WEKA adds every indicator coefficient to a running sum, while this class adds the folded weight for each value.
+   * The rounding is therefore different and results agree with WEKA within a small tolerance, not bit-for-bit.
+   * @param jobType
+   * @param degree
+   * @param major
+   * @param industry
+   * @param years
+   * @param miles
+   * @return
+   */
+  public double predict(int jobType, int degree, int major, int industry, int years, int miles)
+  {
+  	return jobTypeWeights[jobType] + degreeWeights[degree] + majorWeights[major] + industryWeights[industry]
+  			+ yearsCoefficient * years + milesCoefficient * miles + intercept;
+  }
+
+  /**
+   * Predicts the salary for a batch of job postings and writes the results into out.
+   * Row i is made up of the i-th element of every input array.
+   * Each result is identical to calling predict for that row, whichever BatchScorer is in use.
+   * A nominal index outside its attribute's value list throws IndexOutOfBoundsException, and by then some of the
+   * rows before it may already have been written to out.
+   * @param jobType
+   * @param degree
+   * @param major
+   * @param industry
+   * @param years
+   * @param miles
+   * @param out - receives the predicted salaries, must be as long as the input arrays
+   * @throws IllegalArgumentException if the arrays do not all have the same length
+   */
+  public void predict(int[] jobType, int[] degree, int[] major, int[] industry, int[] years, int[] miles, double[] out)
+  {
+  	int numRows = out.length;
+
+  	if(jobType.length != numRows || degree.length != numRows || major.length != numRows || industry.length != numRows
+  			|| years.length != numRows || miles.length != numRows)
+  		throw new IllegalArgumentException("All input arrays must have the same length as the output array : " + numRows);
+
+  	BATCH_SCORER.predict(this, jobType, degree, major, industry, years, miles, out);
+  }
+
+  /**
+   * Returns VectorBatchScorer if the jdk.incubator.vector module is resolved in this JVM and VectorBatchScorer.isSupported,
+   * otherwise ScalarBatchScorer. VectorBatchScorer is loaded reflectively so that this class still links when the module
+   * is missing.
+   * @return
+   */
+  private static BatchScorer selectBatchScorer()
+  {
+  	try
+  	{
+  		Class.forName("jdk.incubator.vector.DoubleVector");
+  		Class<?> vectorScorer = Class.forName("salaryPredictor.VectorBatchScorer");
+
+  		if((Boolean) vectorScorer.getDeclaredMethod("isSupported").invoke(null))
+  			return (BatchScorer) vectorScorer.getDeclaredConstructor().newInstance();
+  		return new ScalarBatchScorer();
+  	}
+  	catch(ReflectiveOperationException | LinkageError e)
+  	{
+  		return new ScalarBatchScorer();
+  	}
+  }
+
+  /**
+   * Counts the values of the given nominal attribute in ARFFFileWriter.header
+   * @param attributeName
+   * @return
+   */
+  private static int countHeaderValues(String attributeName)
+  {
+  	String prefix = "@attribute " + attributeName + " {";
+  	int start = ARFFFileWriter.header.indexOf(prefix);
+
+  	if(start < 0)
+  		throw new IllegalStateException("Nominal attribute " + attributeName + " is missing from the ARFF header");
+
+  	start = start + prefix.length();
+  	return ARFFFileWriter.header.substring(start, ARFFFileWriter.header.indexOf('}', start)).split(",").length;
+  }
+
+  /**
+   * Helper method for the constructor - checks that a weight table has one entry per attribute value
+   * @param attributeName
+   * @param weights
+   * @param numValues
+   */
+  private static void checkNumWeights(String attributeName, double[] weights, int numValues)
+  {
+  	if(weights.length != numValues)
+  		throw new IllegalArgumentException("Expected " + numValues + " weights for " + attributeName + " but got " + weights.length);
+  }
+}
@@ -0,0 +1,48 @@
+package salaryPredictor;
+
+/**
+ * Scores one row at a time. Used when the jdk.incubator.vector module is not available and for the rows
+ * left over after the last full vector in VectorBatchScorer.
+ * @author nirav99
+ *
+ */
+class ScalarBatchScorer implements BatchScorer
+{
+  @Override
+  public void predict(LinearSalaryModel model, int[] jobType, int[] degree, int[] major, int[] industry, int[] years,
+  		int[] miles, double[] out)
+  {
+  	predict(model, jobType, degree, major, industry, years, miles, out, 0);
+  }
+
+  /**
+   * Scores the rows from fromRow to the end of out.
+   * Terms are added in the same order as LinearSalaryModel.predict for a single row, so the results are identical.
+   * @param model
+   * @param jobType
+   * @param degree
+   * @param major
+   * @param industry
+   * @param years
+   * @param miles
+   * @param out
+   * @param fromRow - first row to score
+   */
+  static void predict(LinearSalaryModel model, int[] jobType, int[] degree, int[] major, int[] industry, int[] years,
+  		int[] miles, double[] out, int fromRow)
+  {
+  	double[] jobTypeW = model.jobTypeWeights;
+  	double[] degreeW = model.degreeWeights;
+  	double[] majorW = model.majorWeights;
+  	double[] industryW = model.industryWeights;
+  	double yearsCoef = model.yearsCoefficient;
+  	double milesCoef = model.milesCoefficient;
+  	double constant = model.intercept;
+
+  	for(int i = fromRow; i < out.length; i++)
+  	{
+  		out[i] = jobTypeW[jobType[i]] + degreeW[degree[i]] + majorW[major[i]] + industryW[industry[i]]
+  				+ yearsCoef * years[i] + milesCoef * miles[i] + constant;
+  	}
+  }
+}
@@ -0,0 +1,98 @@
+package salaryPredictor;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores as many rows per instruction as the preferred double vector holds, using the jdk.incubator.vector module.
+ * The nominal weights are fetched with gathers indexed by the nominal columns, and the numeric columns are loaded
+ * as int vectors of the same lane count and converted to double. The rows after the last full vector are scored
+ * by ScalarBatchScorer.
+ *
+ * This class must only be loaded through LinearSalaryModel, which falls back to ScalarBatchScorer when the module
+ * is not resolved (for example when a jar is started with plain java -jar, without --add-modules jdk.incubator.vector)
+ * or when isSupported returns false.
+ * @author nirav99
+ *
+ */
+class VectorBatchScorer implements BatchScorer
+{
+  private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  // Int species with one lane per double lane, used to load the numeric columns
+  private static final VectorSpecies<Integer> INT_SPECIES =
+  		VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLE_SPECIES.vectorBitSize() / 2));
+
+  /**
+   * Returns true if the JIT generates AVX2 code (HotSpot option UseAVX=2).
+   * With AVX-512 code (UseAVX=3) the compiled gathers crash the JVM with SIGSEGV on JDK 17.0.9 and 21.0.1, and without
+   * AVX2 there is no gather instruction and the Vector API falls back to code slower than ScalarBatchScorer.
+   * On AVX-512 machines the vector path can still be used by starting the JVM with -XX:UseAVX=2.
+   * @return
+   */
+  static boolean isSupported()
+  {
+  	try
+  	{
+  		HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+  		return hotSpot != null && "2".equals(hotSpot.getVMOption("UseAVX").getValue()) && DOUBLE_SPECIES.length() > 1;
+  	}
+  	catch(IllegalArgumentException e) // Not an x86 JVM, so there is no UseAVX option
+  	{
+  		return false;
+  	}
+  }
+
+  /**
+   * Terms are added in the same order as the scalar path and no fused multiply-add is used,
+   * so the results are bit-for-bit identical to ScalarBatchScorer.
+   */
+  @Override
+  public void predict(LinearSalaryModel model, int[] jobType, int[] degree, int[] major, int[] industry, int[] years,
+  		int[] miles, double[] out)
+  {
+  	double[] jobTypeW = model.jobTypeWeights;
+  	double[] degreeW = model.degreeWeights;
+  	double[] majorW = model.majorWeights;
+  	double[] industryW = model.industryWeights;
+  	DoubleVector yearsCoef = DoubleVector.broadcast(DOUBLE_SPECIES, model.yearsCoefficient);
+  	DoubleVector milesCoef = DoubleVector.broadcast(DOUBLE_SPECIES, model.milesCoefficient);
+  	DoubleVector constant = DoubleVector.broadcast(DOUBLE_SPECIES, model.intercept);
+
+  	int numLanes = DOUBLE_SPECIES.length();
+  	int upperBound = DOUBLE_SPECIES.loopBound(out.length);
+  	int i = 0;
+
+  	for(; i < upperBound; i += numLanes)
+  	{
+  		DoubleVector salary = DoubleVector.fromArray(DOUBLE_SPECIES, jobTypeW, 0, jobType, i)
+  				.add(DoubleVector.fromArray(DOUBLE_SPECIES, degreeW, 0, degree, i))
+  				.add(DoubleVector.fromArray(DOUBLE_SPECIES, majorW, 0, major, i))
+  				.add(DoubleVector.fromArray(DOUBLE_SPECIES, industryW, 0, industry, i))
+  				.add(toDoubleVector(years, i).mul(yearsCoef))
+  				.add(toDoubleVector(miles, i).mul(milesCoef))
+  				.add(constant);
+  		salary.intoArray(out, i);
+  	}
+
+  	ScalarBatchScorer.predict(model, jobType, degree, major, industry, years, miles, out, i);
+  }
+
+  /**
+   * Loads one vector's worth of an int column starting at offset and converts it to double
+   * @param values
+   * @param offset
+   * @return
+   */
+  private static DoubleVector toDoubleVector(int[] values, int offset)
+  {
+  	return (DoubleVector) IntVector.fromArray(INT_SPECIES, values, offset).convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0);
+  }
+}
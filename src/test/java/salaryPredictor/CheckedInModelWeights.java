@@ -0,0 +1,156 @@
+package salaryPredictor;
+
+import java.io.*;
+import java.lang.reflect.Field;
+
+import weka.classifiers.functions.LinearRegression;
+import weka.core.*;
+
+/**
+ * Extracts the folded weights of LinearSalaryModel from the serialized WEKA model in the model directory.
+ * Tests use it to check the snapshot in LinearSalaryModel.forCheckedInModel, and main prints the tables
+ * to paste into forCheckedInModel after the model is retrained.
+ * @author nirav99
+ *
+ */
+public class CheckedInModelWeights
+{
+  public static final File MODEL_FILE = new File("model/linearregression_allfeatures_outliersremoved.model");
+
+  private final LinearRegression regression;
+  private final Instances header; // ARFFFileWriter.header with salary as the class attribute
+
+  private final double[][] nominalWeights; // jobType, degree, major and industry weights in ARFF header order
+  private double yearsCoefficient;
+  private double milesCoefficient;
+  private double intercept;
+
+  public CheckedInModelWeights(File modelFile) throws Exception
+  {
+  	regression = (LinearRegression) SerializationHelper.read(modelFile.getAbsolutePath());
+
+  	header = new Instances(new StringReader(ARFFFileWriter.header));
+  	header.setClassIndex(header.numAttributes() - 1);
+
+  	nominalWeights = new double[4][];
+  	for(int k = 0; k < nominalWeights.length; k++)
+  		nominalWeights[k] = new double[header.attribute(k).numValues()];
+
+  	foldCoefficients();
+  }
+
+  /**
+   * Walks the NominalToBinary output attributes that LinearRegression kept and adds each indicator coefficient
+   * to the weight of every nominal value listed in the indicator's name, e.g. "jobType=CTO,CFO,CEO".
+   * @throws Exception
+   */
+  private void foldCoefficients() throws Exception
+  {
+  	double[] coefficients = (double[]) getField("m_Coefficients");
+  	boolean[] selected = (boolean[]) getField("m_SelectedAttributes");
+  	Instances transformed = (Instances) getField("m_TransformedData");
+
+  	int column = 0;
+  	for(int i = 0; i < transformed.numAttributes(); i++)
+  	{
+  		if(i == transformed.classIndex() || !selected[i])
+  			continue;
+
+  		String name = transformed.attribute(i).name();
+
+  		if(name.equals("yearsExperience"))
+  			yearsCoefficient = coefficients[column];
+  		else if(name.equals("milesFromMetropolis"))
+  			milesCoefficient = coefficients[column];
+  		else
+  		{
+  			String[] tokens = name.split("=", 2);
+  			Attribute attribute = header.attribute(tokens[0]);
+
+  			for(String value : tokens[1].split(","))
+  				nominalWeights[attribute.index()][attribute.indexOfValue(value)] += coefficients[column];
+  		}
+  		column++;
+  	}
+  	intercept = coefficients[column]; // LinearRegression stores the intercept after the last selected attribute
+  }
+
+  private Object getField(String name) throws Exception
+  {
+  	Field field = LinearRegression.class.getDeclaredField(name);
+  	field.setAccessible(true);
+  	return field.get(regression);
+  }
+
+  public LinearSalaryModel toModel()
+  {
+  	return new LinearSalaryModel(nominalWeights[0], nominalWeights[1], nominalWeights[2], nominalWeights[3],
+  			yearsCoefficient, milesCoefficient, intercept);
+  }
+
+  /**
+   * Returns the WEKA prediction for the given row, with nominal values given as indices into ARFFFileWriter.header
+   * @param row - jobType, degree, major, industry, yearsExperience, milesFromMetropolis
+   * @return
+   * @throws Exception
+   */
+  public double wekaPredict(int[] row) throws Exception
+  {
+  	Instance instance = new Instance(header.numAttributes());
+  	instance.setDataset(header);
+
+  	for(int k = 0; k < row.length; k++)
+  		instance.setValue(k, row[k]);
+
+  	return regression.classifyInstance(instance);
+  }
+
+  public Instances getHeader()
+  {
+  	return header;
+  }
+
+  /**
+   * Prints the weight tables as Java statements for LinearSalaryModel.forCheckedInModel
+   */
+  public void printWeights()
+  {
+  	String[] names = {"jobTypeWeights", "degreeWeights", "majorWeights", "industryWeights"};
+
+  	for(int k = 0; k < names.length; k++)
+  	{
+  		StringBuilder values = new StringBuilder();
+  		StringBuilder comment = new StringBuilder();
+
+  		for(int j = 0; j < nominalWeights[k].length; j++)
+  		{
+  			if(j > 0)
+  			{
+  				values.append(", ");
+  				comment.append(", ");
+  			}
+  			values.append(Double.toString(nominalWeights[k][j]));
+  			comment.append(header.attribute(k).value(j));
+  		}
+  		System.out.println("// " + comment);
+  		System.out.println("double[] " + names[k] + " = {" + values + "};");
+  		System.out.println();
+  	}
+  	System.out.println("yearsCoefficient = " + Double.toString(yearsCoefficient));
+  	System.out.println("milesCoefficient = " + Double.toString(milesCoefficient));
+  	System.out.println("intercept = " + Double.toString(intercept));
+  }
+
+  public static void main(String[] args)
+  {
+  	try
+  	{
+  		new CheckedInModelWeights(args.length > 0 ? new File(args[0]) : MODEL_FILE).printWeights();
+  	}
+  	catch(Exception e)
+  	{
+  		System.err.println(e.getMessage());
+  		e.printStackTrace();
+  	}
+  }
+}
@@ -0,0 +1,184 @@
+package salaryPredictor;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks the vector and scalar batch scoring paths against each other and the checked-in model snapshot
+ * against WEKA's predictions for model/linearregression_allfeatures_outliersremoved.model.
+ * @author nirav99
+ *
+ */
+public class LinearSalaryModelTest
+{
+  // Agreement expected with WEKA, which adds up the indicator coefficients in a different order
+  private static final double WEKA_TOLERANCE = 1e-9;
+
+  private static CheckedInModelWeights checkedInModel;
+
+  @BeforeClass
+  public static void loadCheckedInModel() throws Exception
+  {
+  	checkedInModel = new CheckedInModelWeights(CheckedInModelWeights.MODEL_FILE);
+  }
+
+  /**
+   * Builds numRows random valid rows, one column per array in the order of the predict arguments
+   * @param numRows
+   * @param random
+   * @return
+   */
+  private static int[][] randomRows(int numRows, Random random)
+  {
+  	int[][] columns = new int[6][numRows];
+
+  	for(int i = 0; i < numRows; i++)
+  	{
+  		columns[0][i] = random.nextInt(LinearSalaryModel.NUM_JOB_TYPES);
+  		columns[1][i] = random.nextInt(LinearSalaryModel.NUM_DEGREES);
+  		columns[2][i] = random.nextInt(LinearSalaryModel.NUM_MAJORS);
+  		columns[3][i] = random.nextInt(LinearSalaryModel.NUM_INDUSTRIES);
+  		columns[4][i] = random.nextInt(25);
+  		columns[5][i] = random.nextInt(100);
+  	}
+  	return columns;
+  }
+
+  private static double[] score(BatchScorer scorer, LinearSalaryModel model, int[][] columns)
+  {
+  	double[] out = new double[columns[0].length];
+  	scorer.predict(model, columns[0], columns[1], columns[2], columns[3], columns[4], columns[5], out);
+  	return out;
+  }
+
+  @Test
+  public void vectorScorerIsUsedWhenSupported()
+  {
+  	// The test task runs with --add-modules jdk.incubator.vector, so only isSupported decides
+  	assertEquals(VectorBatchScorer.isSupported(), LinearSalaryModel.BATCH_SCORER instanceof VectorBatchScorer);
+  }
+
+  @Test
+  public void batchPredictionMatchesSingleRowPrediction()
+  {
+  	LinearSalaryModel model = LinearSalaryModel.forCheckedInModel();
+  	int[][] columns = randomRows(10007, new Random(42));
+
+  	double[] out = new double[columns[0].length];
+  	model.predict(columns[0], columns[1], columns[2], columns[3], columns[4], columns[5], out);
+
+  	for(int i = 0; i < out.length; i++)
+  	{
+  		double expected = model.predict(columns[0][i], columns[1][i], columns[2][i], columns[3][i], columns[4][i], columns[5][i]);
+  		assertEquals("Row " + i, Double.doubleToLongBits(expected), Double.doubleToLongBits(out[i]));
+  	}
+  }
+
+  @Test
+  public void vectorScorerMatchesScalarScorer()
+  {
+  	Assume.assumeTrue(VectorBatchScorer.isSupported());
+
+  	LinearSalaryModel model = LinearSalaryModel.forCheckedInModel();
+  	Random random = new Random(7);
+
+  	// Every batch size up to a few vectors, so that each possible tail length is covered
+  	for(int numRows = 0; numRows <= 67; numRows++)
+  	{
+  		int[][] columns = randomRows(numRows, random);
+  		double[] scalar = score(new ScalarBatchScorer(), model, columns);
+  		double[] vector = score(new VectorBatchScorer(), model, columns);
+
+  		for(int i = 0; i < numRows; i++)
+  			assertEquals(numRows + " rows, row " + i, Double.doubleToLongBits(scalar[i]), Double.doubleToLongBits(vector[i]));
+  	}
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void batchPredictionRejectsMismatchedLengths()
+  {
+  	int[] rows = new int[3];
+  	LinearSalaryModel.forCheckedInModel().predict(rows, rows, rows, rows, rows, new int[2], new double[3]);
+  }
+
+  @Test
+  public void scorersRejectOutOfRangeNominalIndex()
+  {
+  	LinearSalaryModel model = LinearSalaryModel.forCheckedInModel();
+  	BatchScorer[] scorers = {new ScalarBatchScorer(), new VectorBatchScorer()};
+
+  	for(BatchScorer scorer : scorers)
+  	{
+  		if(scorer instanceof VectorBatchScorer && !VectorBatchScorer.isSupported())
+  			continue;
+
+  		int[][] columns = randomRows(64, new Random(3));
+  		columns[2][5] = LinearSalaryModel.NUM_MAJORS;
+
+  		try
+  		{
+  			score(scorer, model, columns);
+  			fail(scorer.getClass().getSimpleName() + " accepted an out of range major");
+  		}
+  		catch(IndexOutOfBoundsException e)
+  		{
+  			// expected
+  		}
+  	}
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorRejectsWrongNumberOfWeights()
+  {
+  	new LinearSalaryModel(new double[LinearSalaryModel.NUM_JOB_TYPES], new double[LinearSalaryModel.NUM_DEGREES],
+  			new double[LinearSalaryModel.NUM_MAJORS - 1], new double[LinearSalaryModel.NUM_INDUSTRIES], 0, 0, 0);
+  }
+
+  @Test
+  public void valueCountsMatchArffHeader()
+  {
+  	assertEquals(checkedInModel.getHeader().attribute("jobType").numValues(), LinearSalaryModel.NUM_JOB_TYPES);
+  	assertEquals(checkedInModel.getHeader().attribute("degree").numValues(), LinearSalaryModel.NUM_DEGREES);
+  	assertEquals(checkedInModel.getHeader().attribute("major").numValues(), LinearSalaryModel.NUM_MAJORS);
+  	assertEquals(checkedInModel.getHeader().attribute("industry").numValues(), LinearSalaryModel.NUM_INDUSTRIES);
+  }
+
+  /**
+   * Fails when the model file is retrained without regenerating forCheckedInModel
+   */
+  @Test
+  public void snapshotMatchesModelFile()
+  {
+  	LinearSalaryModel snapshot = LinearSalaryModel.forCheckedInModel();
+  	LinearSalaryModel extracted = checkedInModel.toModel();
+
+  	assertArrayEquals(extracted.jobTypeWeights, snapshot.jobTypeWeights, 0);
+  	assertArrayEquals(extracted.degreeWeights, snapshot.degreeWeights, 0);
+  	assertArrayEquals(extracted.majorWeights, snapshot.majorWeights, 0);
+  	assertArrayEquals(extracted.industryWeights, snapshot.industryWeights, 0);
+  	assertEquals(extracted.yearsCoefficient, snapshot.yearsCoefficient, 0);
+  	assertEquals(extracted.milesCoefficient, snapshot.milesCoefficient, 0);
+  	assertEquals(extracted.intercept, snapshot.intercept, 0);
+  }
+
+  @Test
+  public void batchPredictionMatchesWekaPredictions() throws Exception
+  {
+  	LinearSalaryModel model = LinearSalaryModel.forCheckedInModel();
+  	int[][] columns = randomRows(2003, new Random(11));
+
+  	double[] out = new double[columns[0].length];
+  	model.predict(columns[0], columns[1], columns[2], columns[3], columns[4], columns[5], out);
+
+  	for(int i = 0; i < out.length; i++)
+  	{
+  		int[] row = {columns[0][i], columns[1][i], columns[2][i], columns[3][i], columns[4][i], columns[5][i]};
+  		assertEquals("Row " + i, checkedInModel.wekaPredict(row), out[i], WEKA_TOLERANCE);
+  	}
+  }
+}
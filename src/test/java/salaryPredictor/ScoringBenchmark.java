@@ -0,0 +1,74 @@
+package salaryPredictor;
+
+import java.util.Random;
+
+/**
+ * Times ScalarBatchScorer and VectorBatchScorer on the same random rows.
+ * Run with "gradle scoringBenchmark", which starts the JVM with -XX:UseAVX=2 so that VectorBatchScorer.isSupported
+ * holds on AVX-512 machines too. A small batch that stays in the CPU cache shows the cost of the arithmetic,
+ * and a large batch shows the cost of streaming the columns from memory. Each scorer is warmed up first,
+ * then the best of several timed runs is reported.
+ * @author nirav99
+ *
+ */
+public class ScoringBenchmark
+{
+  private static final int[] BATCH_SIZES = {4096, 1 << 22};
+  private static final int ROWS_PER_RUN = 1 << 24; // Rows scored in each timed run, whatever the batch size
+  private static final int WARMUP_RUNS = 10;
+  private static final int TIMED_RUNS = 15;
+
+  public static void main(String[] args)
+  {
+  	LinearSalaryModel model = LinearSalaryModel.forCheckedInModel();
+  	BatchScorer[] scorers = {new ScalarBatchScorer(), new VectorBatchScorer()};
+
+  	System.out.println("Preferred double vector : " + jdk.incubator.vector.DoubleVector.SPECIES_PREFERRED);
+
+  	for(int numRows : BATCH_SIZES)
+  	{
+  		Random random = new Random(1);
+  		int[] jobType = new int[numRows];
+  		int[] degree = new int[numRows];
+  		int[] major = new int[numRows];
+  		int[] industry = new int[numRows];
+  		int[] years = new int[numRows];
+  		int[] miles = new int[numRows];
+
+  		for(int i = 0; i < numRows; i++)
+  		{
+  			jobType[i] = random.nextInt(LinearSalaryModel.NUM_JOB_TYPES);
+  			degree[i] = random.nextInt(LinearSalaryModel.NUM_DEGREES);
+  			major[i] = random.nextInt(LinearSalaryModel.NUM_MAJORS);
+  			industry[i] = random.nextInt(LinearSalaryModel.NUM_INDUSTRIES);
+  			years[i] = random.nextInt(25);
+  			miles[i] = random.nextInt(100);
+  		}
+
+  		double[] out = new double[numRows];
+  		int batchesPerRun = Math.max(1, ROWS_PER_RUN / numRows);
+  		double checksum = 0;
+
+  		for(BatchScorer scorer : scorers)
+  		{
+  			long bestNanos = Long.MAX_VALUE;
+
+  			for(int run = 0; run < WARMUP_RUNS + TIMED_RUNS; run++)
+  			{
+  				long start = System.nanoTime();
+  				for(int batch = 0; batch < batchesPerRun; batch++)
+  					scorer.predict(model, jobType, degree, major, industry, years, miles, out);
+  				long elapsed = System.nanoTime() - start;
+
+  				if(run >= WARMUP_RUNS)
+  					bestNanos = Math.min(bestNanos, elapsed);
+  				checksum = checksum + out[run];
+  			}
+
+  			System.out.printf("%8d rows  %-18s %7.3f ns/row%n", numRows, scorer.getClass().getSimpleName(),
+  					1.0 * bestNanos / ((long) numRows * batchesPerRun));
+  		}
+  		System.out.println("Checksum : " + checksum);
+  	}
+  }
+}